@@ -0,0 +1,70 @@
+package com.aitusoftware.recall.benchmark;
+
+/**
+ * Layout of a binary store access trace.
+ *
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                             Magic                             |
+ *  +---------------------------------------------------------------+
+ *  |                            Version                            |
+ *  +---------------------------------------------------------------+
+ *  |                         Record Count                          |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                        Dropped Records                        |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                            Records                           ...
+ *  +---------------------------------------------------------------+
+ * </pre>
+ *
+ * Dropped Records counts accesses that were not recorded because the file was full; a non-zero value
+ * means the trace is truncated.
+ *
+ * Each record holds the id accessed, the operation type, and the nanoseconds elapsed since the
+ * previous record (saturating at {@link Integer#MAX_VALUE}).
+ *
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                              Id                               |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                     Timestamp Delta Nanos                     |
+ *  +---------------------------------------------------------------+
+ *  |                           Operation                           |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public final class AccessTrace
+{
+    public static final int OP_LOAD = 1;
+    public static final int OP_STORE = 2;
+
+    public static final int MAGIC = 0x52435452;
+    public static final int VERSION = 2;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = MAGIC_OFFSET + Integer.BYTES;
+    static final int RECORD_COUNT_OFFSET = VERSION_OFFSET + Integer.BYTES;
+    static final int DROPPED_RECORDS_OFFSET = RECORD_COUNT_OFFSET + Long.BYTES;
+    static final int HEADER_LENGTH = DROPPED_RECORDS_OFFSET + Long.BYTES;
+
+    static final int ID_OFFSET = 0;
+    static final int TIMESTAMP_DELTA_OFFSET = ID_OFFSET + Long.BYTES;
+    static final int OP_OFFSET = TIMESTAMP_DELTA_OFFSET + Integer.BYTES;
+    static final int RECORD_LENGTH = OP_OFFSET + Integer.BYTES;
+
+    private AccessTrace()
+    {
+    }
+
+    static int recordOffset(final int index)
+    {
+        return HEADER_LENGTH + (index * RECORD_LENGTH);
+    }
+}
@@ -0,0 +1,76 @@
+package com.aitusoftware.recall.benchmark;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static com.aitusoftware.recall.benchmark.AccessTrace.*;
+
+/**
+ * Reads records from a memory-mapped {@link AccessTrace} file.
+ */
+public final class AccessTraceReader implements AutoCloseable
+{
+    private final MappedByteBuffer mappedBuffer;
+    private final UnsafeBuffer buffer;
+    private final int recordCount;
+    private final long droppedRecords;
+
+    public AccessTraceReader(final File file)
+    {
+        mappedBuffer = IoUtil.mapExistingFile(file, FileChannel.MapMode.READ_ONLY, "access-trace");
+        buffer = new UnsafeBuffer(mappedBuffer);
+        if (buffer.capacity() < HEADER_LENGTH ||
+            buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION)
+        {
+            IoUtil.unmap(mappedBuffer);
+            throw new IllegalArgumentException("Not a supported access trace: " + file);
+        }
+        final long count = buffer.getLongVolatile(RECORD_COUNT_OFFSET);
+        if (count <= 0 || count > (buffer.capacity() - HEADER_LENGTH) / RECORD_LENGTH)
+        {
+            IoUtil.unmap(mappedBuffer);
+            throw new IllegalArgumentException(
+                "Access trace " + file + " has record count " + count + ", file length " + buffer.capacity());
+        }
+        recordCount = (int) count;
+        droppedRecords = buffer.getLongVolatile(DROPPED_RECORDS_OFFSET);
+    }
+
+    public int recordCount()
+    {
+        return recordCount;
+    }
+
+    /**
+     * @return number of accesses the recorder dropped because the trace file was full
+     */
+    public long droppedRecords()
+    {
+        return droppedRecords;
+    }
+
+    public int op(final int index)
+    {
+        return buffer.getInt(recordOffset(index) + OP_OFFSET);
+    }
+
+    public long id(final int index)
+    {
+        return buffer.getLong(recordOffset(index) + ID_OFFSET);
+    }
+
+    public int timestampDeltaNanos(final int index)
+    {
+        return buffer.getInt(recordOffset(index) + TIMESTAMP_DELTA_OFFSET);
+    }
+
+    @Override
+    public void close()
+    {
+        IoUtil.unmap(mappedBuffer);
+    }
+}
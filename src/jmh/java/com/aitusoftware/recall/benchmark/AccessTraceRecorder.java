@@ -0,0 +1,75 @@
+package com.aitusoftware.recall.benchmark;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+
+import static com.aitusoftware.recall.benchmark.AccessTrace.*;
+
+/**
+ * Writes an {@link AccessTrace} to a memory-mapped file. Records beyond the capacity of the file are dropped,
+ * and counted in the trace header.
+ *
+ * Not thread-safe; a recorder is expected to be owned by the thread that owns the recorded store.
+ */
+public final class AccessTraceRecorder implements AutoCloseable
+{
+    private final MappedByteBuffer mappedBuffer;
+    private final UnsafeBuffer buffer;
+    private final int maxRecords;
+    private int recordCount;
+    private long droppedRecords;
+    private long lastTimestampNanos = Long.MIN_VALUE;
+
+    public AccessTraceRecorder(final File file, final int maxRecords)
+    {
+        this.maxRecords = maxRecords;
+        IoUtil.deleteIfExists(file);
+        mappedBuffer = IoUtil.mapNewFile(file, HEADER_LENGTH + ((long) maxRecords * RECORD_LENGTH));
+        buffer = new UnsafeBuffer(mappedBuffer);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putLong(DROPPED_RECORDS_OFFSET, 0);
+        buffer.putLongOrdered(RECORD_COUNT_OFFSET, 0);
+    }
+
+    public void record(final int op, final long id)
+    {
+        record(op, id, System.nanoTime());
+    }
+
+    public void record(final int op, final long id, final long timestampNanos)
+    {
+        if (recordCount == maxRecords)
+        {
+            buffer.putLongOrdered(DROPPED_RECORDS_OFFSET, ++droppedRecords);
+            return;
+        }
+        final long delta = lastTimestampNanos == Long.MIN_VALUE ? 0 : timestampNanos - lastTimestampNanos;
+        lastTimestampNanos = timestampNanos;
+        final int offset = recordOffset(recordCount);
+        buffer.putLong(offset + ID_OFFSET, id);
+        buffer.putInt(offset + TIMESTAMP_DELTA_OFFSET, (int) Math.min(Integer.MAX_VALUE, Math.max(0, delta)));
+        buffer.putInt(offset + OP_OFFSET, op);
+        buffer.putLongOrdered(RECORD_COUNT_OFFSET, ++recordCount);
+    }
+
+    public int recordCount()
+    {
+        return recordCount;
+    }
+
+    public long droppedRecords()
+    {
+        return droppedRecords;
+    }
+
+    @Override
+    public void close()
+    {
+        mappedBuffer.force();
+        IoUtil.unmap(mappedBuffer);
+    }
+}
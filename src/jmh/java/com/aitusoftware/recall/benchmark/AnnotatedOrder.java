@@ -0,0 +1,66 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.AsciiCharSequence;
+import net.openhft.chronicle.bytes.BytesIn;
+import net.openhft.chronicle.bytes.BytesMarshallable;
+import net.openhft.chronicle.bytes.BytesOut;
+import net.openhft.chronicle.core.io.IORuntimeException;
+
+/**
+ * An {@link Order} carrying a variable-length free-text field, used to sweep record sizes.
+ */
+public final class AnnotatedOrder implements BytesMarshallable
+{
+    public static final int MAX_TEXT_LENGTH = 512;
+
+    private final Order order = new Order();
+    private final AsciiCharSequence text = new AsciiCharSequence(MAX_TEXT_LENGTH);
+
+    @Override
+    public void readMarshallable(final BytesIn buffer) throws IORuntimeException
+    {
+        order.readMarshallable(buffer);
+        final int textLength = buffer.readInt();
+        text.reset();
+        for (int i = 0; i < textLength; i++)
+        {
+            text.append((char) buffer.readByte());
+        }
+    }
+
+    @Override
+    public void writeMarshallable(final BytesOut buffer)
+    {
+        order.writeMarshallable(buffer);
+        final int textLength = text.length();
+        buffer.writeInt(textLength);
+        for (int i = 0; i < textLength; i++)
+        {
+            buffer.writeByte((byte) text.charAt(i));
+        }
+    }
+
+    public Order getOrder()
+    {
+        return order;
+    }
+
+    public CharSequence getText()
+    {
+        return text;
+    }
+
+    public AsciiCharSequence getTextSequence()
+    {
+        return text;
+    }
+
+    public void setText(final CharSequence text)
+    {
+        this.text.reset();
+        for (int i = 0; i < text.length(); i++)
+        {
+            this.text.append(text.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.Decoder;
+import com.aitusoftware.recall.persistence.Encoder;
+import com.aitusoftware.recall.persistence.IdAccessor;
+import com.aitusoftware.recall.store.Store;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.io.OutputStream;
+
+/**
+ * Decorates a {@link Store} with counters for loads, load misses, stores, removals, size and utilisation.
+ * Utilisation is published in per-mille, as counters hold integral values.
+ *
+ * Counters are updated with ordered writes, as the decorated store is owned by a single thread;
+ * they can be read concurrently by an external process via {@link StoreCounters}.
+ * The decorated store does not expose its internal probing, so probe lengths are not reported.
+ *
+ * @param <B> the type of buffer used by the store
+ */
+public final class InstrumentedStore<B> implements Store<B>, AutoCloseable
+{
+    private final Store<B> delegate;
+    private final AtomicCounter loads;
+    private final AtomicCounter loadMisses;
+    private final AtomicCounter stores;
+    private final AtomicCounter removals;
+    private final AtomicCounter size;
+    private final AtomicCounter utilisationPerMille;
+
+    public InstrumentedStore(final Store<B> delegate, final StoreCounters counters, final String name)
+    {
+        this.delegate = delegate;
+        loads = counters.newCounter(name + " loads");
+        loadMisses = counters.newCounter(name + " load misses");
+        stores = counters.newCounter(name + " stores");
+        removals = counters.newCounter(name + " removals");
+        size = counters.newCounter(name + " size");
+        utilisationPerMille = counters.newCounter(name + " utilisation per-mille");
+        updateSize();
+    }
+
+    @Override
+    public <T> boolean load(final long id, final Decoder<B, T> decoder, final T container)
+    {
+        final boolean found = delegate.load(id, decoder, container);
+        loads.incrementOrdered();
+        if (!found)
+        {
+            loadMisses.incrementOrdered();
+        }
+        return found;
+    }
+
+    @Override
+    public <T> void store(final Encoder<B, T> encoder, final T value, final IdAccessor<T> idAccessor)
+    {
+        delegate.store(encoder, value, idAccessor);
+        stores.incrementOrdered();
+        updateSize();
+    }
+
+    @Override
+    public boolean remove(final long id)
+    {
+        final boolean removed = delegate.remove(id);
+        if (removed)
+        {
+            removals.incrementOrdered();
+            updateSize();
+        }
+        return removed;
+    }
+
+    @Override
+    public void compact()
+    {
+        delegate.compact();
+        updateSize();
+    }
+
+    @Override
+    public void streamTo(final OutputStream output)
+    {
+        delegate.streamTo(output);
+    }
+
+    @Override
+    public void sync()
+    {
+        delegate.sync();
+    }
+
+    @Override
+    public int size()
+    {
+        return delegate.size();
+    }
+
+    @Override
+    public float utilisation()
+    {
+        return delegate.utilisation();
+    }
+
+    @Override
+    public void clear()
+    {
+        delegate.clear();
+        updateSize();
+    }
+
+    /**
+     * @return ratio of loads that found an entry, as observed by the owning thread
+     */
+    public double hitRate()
+    {
+        final long loadCount = loads.get();
+        return loadCount == 0 ? 0 : (loadCount - loadMisses.get()) / (double) loadCount;
+    }
+
+    @Override
+    public void close()
+    {
+        loads.close();
+        loadMisses.close();
+        stores.close();
+        removals.close();
+        size.close();
+        utilisationPerMille.close();
+    }
+
+    private void updateSize()
+    {
+        size.setOrdered(delegate.size());
+        utilisationPerMille.setOrdered(Math.round(delegate.utilisation() * 1000));
+    }
+}
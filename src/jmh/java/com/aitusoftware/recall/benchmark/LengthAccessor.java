@@ -0,0 +1,12 @@
+package com.aitusoftware.recall.benchmark;
+
+/**
+ * Provides the encoded length of a value, so that a store can select a slot before encoding.
+ *
+ * @param <T> the type of the value
+ */
+@FunctionalInterface
+public interface LengthAccessor<T>
+{
+    int getLength(T value);
+}
@@ -0,0 +1,31 @@
+package com.aitusoftware.recall.benchmark;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.ref.BinaryLongReference;
+import net.openhft.chronicle.core.values.LongValue;
+import org.caffinitas.ohc.CacheSerializer;
+
+import java.nio.ByteBuffer;
+
+final class LongValueCacheSerializer implements CacheSerializer<LongValue>
+{
+    @Override
+    public void serialize(final LongValue value, final ByteBuffer buf)
+    {
+        buf.putLong(value.getValue());
+    }
+
+    @Override
+    public LongValue deserialize(final ByteBuffer buf)
+    {
+        final BinaryLongReference longRef = new BinaryLongReference();
+        longRef.bytesStore(Bytes.allocateDirect(8), 0, 8);
+        return longRef;
+    }
+
+    @Override
+    public int serializedSize(LongValue value)
+    {
+        return Long.BYTES;
+    }
+}
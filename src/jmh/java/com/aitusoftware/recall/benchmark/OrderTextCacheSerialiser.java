@@ -0,0 +1,80 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.AsciiCharSequence;
+import org.caffinitas.ohc.CacheSerializer;
+
+import java.nio.ByteBuffer;
+
+import static com.aitusoftware.recall.benchmark.OrderTextUnsafeBufferTranscoder.*;
+
+/**
+ * OHC serialiser using the same layout as {@link OrderTextUnsafeBufferTranscoder}.
+ */
+final class OrderTextCacheSerialiser implements CacheSerializer<AnnotatedOrder>
+{
+    private final AnnotatedOrder lastLoaded = new AnnotatedOrder();
+
+    @Override
+    public void serialize(AnnotatedOrder value, ByteBuffer buffer)
+    {
+        final Order order = value.getOrder();
+        final int offset = buffer.position();
+        buffer.putLong(offset, order.getId());
+        buffer.putLong(offset + SESSION_ID_OFFSET, order.getSessionId());
+        buffer.putLong(offset + TIMESTAMP_OFFSET, order.getTimestamp());
+        buffer.putLong(offset + QUANTITY_OFFSET, Double.doubleToRawLongBits(order.getQuantity()));
+        buffer.putLong(offset + PRICE_OFFSET, Double.doubleToRawLongBits(order.getPrice()));
+        buffer.putInt(offset + VENUE_ID_OFFSET, order.getVenueId());
+        final int length = order.getSymbol().length();
+        buffer.putInt(offset + SYMBOL_LENGTH_OFFSET, length);
+        for (int i = 0; i < length; i++)
+        {
+            buffer.putChar(offset + SYMBOL_CHAR_BASE_OFFSET + (i * Character.BYTES),
+                    order.getSymbol().charAt(i));
+        }
+        final int textLength = value.getText().length();
+        final int textBaseOffset = offset + SYMBOL_CHAR_BASE_OFFSET + (length * Character.BYTES);
+        buffer.putInt(offset + TEXT_LENGTH_OFFSET, textLength);
+        for (int i = 0; i < textLength; i++)
+        {
+            buffer.put(textBaseOffset + i, (byte) value.getText().charAt(i));
+        }
+    }
+
+    @Override
+    public AnnotatedOrder deserialize(ByteBuffer buffer)
+    {
+        final AnnotatedOrder container = lastLoaded;
+        final Order order = container.getOrder();
+        final int offset = buffer.position();
+        order.setId(buffer.getLong(offset));
+        order.setSessionId(buffer.getLong(offset + SESSION_ID_OFFSET));
+        order.setTimestamp(buffer.getLong(offset + TIMESTAMP_OFFSET));
+        order.setQuantity(Double.longBitsToDouble(buffer.getLong(offset + QUANTITY_OFFSET)));
+        order.setPrice(Double.longBitsToDouble(buffer.getLong(offset + PRICE_OFFSET)));
+        order.setVenueId(buffer.getInt(offset + VENUE_ID_OFFSET));
+        final int symbolLength = buffer.getInt(offset + SYMBOL_LENGTH_OFFSET);
+        final AsciiCharSequence symbolSequence = order.getSymbolSequence();
+        symbolSequence.reset();
+        for (int i = 0; i < symbolLength; i++)
+        {
+            symbolSequence.append(buffer.getChar(offset + SYMBOL_CHAR_BASE_OFFSET + (i * Character.BYTES)));
+        }
+        final int textLength = buffer.getInt(offset + TEXT_LENGTH_OFFSET);
+        final int textBaseOffset = offset + SYMBOL_CHAR_BASE_OFFSET + (symbolLength * Character.BYTES);
+        final AsciiCharSequence textSequence = container.getTextSequence();
+        textSequence.reset();
+        for (int i = 0; i < textLength; i++)
+        {
+            textSequence.append((char) buffer.get(textBaseOffset + i));
+        }
+
+        return container;
+    }
+
+    @Override
+    public int serializedSize(AnnotatedOrder value)
+    {
+        return OrderTextUnsafeBufferTranscoder.encodedLength(value);
+    }
+}
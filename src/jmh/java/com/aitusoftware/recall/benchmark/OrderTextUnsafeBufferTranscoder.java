@@ -0,0 +1,95 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.AsciiCharSequence;
+import com.aitusoftware.recall.persistence.Decoder;
+import com.aitusoftware.recall.persistence.Encoder;
+import com.aitusoftware.recall.persistence.IdAccessor;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Encodes an {@link AnnotatedOrder} including its free-text field, which is written as ASCII bytes after the symbol.
+ */
+public final class OrderTextUnsafeBufferTranscoder implements Encoder<UnsafeBuffer, AnnotatedOrder>,
+    Decoder<UnsafeBuffer, AnnotatedOrder>, IdAccessor<AnnotatedOrder>, LengthAccessor<AnnotatedOrder>
+{
+    public static final int HEADER_LENGTH = (5 * Long.BYTES) + (3 * Integer.BYTES);
+
+    static final int SESSION_ID_OFFSET = Long.BYTES;
+    static final int TIMESTAMP_OFFSET = (2 * Long.BYTES);
+    static final int QUANTITY_OFFSET = (3 * Long.BYTES);
+    static final int PRICE_OFFSET = (4 * Long.BYTES);
+    static final int VENUE_ID_OFFSET = (5 * Long.BYTES);
+    static final int SYMBOL_LENGTH_OFFSET = (5 * Long.BYTES) + Integer.BYTES;
+    static final int TEXT_LENGTH_OFFSET = (5 * Long.BYTES) + (2 * Integer.BYTES);
+    static final int SYMBOL_CHAR_BASE_OFFSET = HEADER_LENGTH;
+
+    @Override
+    public void store(final UnsafeBuffer buffer, final int offset, final AnnotatedOrder value)
+    {
+        final Order order = value.getOrder();
+        buffer.putLong(offset, order.getId());
+        buffer.putLong(offset + SESSION_ID_OFFSET, order.getSessionId());
+        buffer.putLong(offset + TIMESTAMP_OFFSET, order.getTimestamp());
+        buffer.putLong(offset + QUANTITY_OFFSET, Double.doubleToRawLongBits(order.getQuantity()));
+        buffer.putLong(offset + PRICE_OFFSET, Double.doubleToRawLongBits(order.getPrice()));
+        buffer.putInt(offset + VENUE_ID_OFFSET, order.getVenueId());
+        final int length = order.getSymbol().length();
+        buffer.putInt(offset + SYMBOL_LENGTH_OFFSET, length);
+        for (int i = 0; i < length; i++)
+        {
+            buffer.putChar(offset + SYMBOL_CHAR_BASE_OFFSET + (i * Character.BYTES),
+                order.getSymbol().charAt(i));
+        }
+        final int textLength = value.getText().length();
+        final int textBaseOffset = offset + SYMBOL_CHAR_BASE_OFFSET + (length * Character.BYTES);
+        buffer.putInt(offset + TEXT_LENGTH_OFFSET, textLength);
+        for (int i = 0; i < textLength; i++)
+        {
+            buffer.putByte(textBaseOffset + i, (byte) value.getText().charAt(i));
+        }
+    }
+
+    @Override
+    public void load(final UnsafeBuffer buffer, final int offset, final AnnotatedOrder container)
+    {
+        final Order order = container.getOrder();
+        order.setId(buffer.getLong(offset));
+        order.setSessionId(buffer.getLong(offset + SESSION_ID_OFFSET));
+        order.setTimestamp(buffer.getLong(offset + TIMESTAMP_OFFSET));
+        order.setQuantity(Double.longBitsToDouble(buffer.getLong(offset + QUANTITY_OFFSET)));
+        order.setPrice(Double.longBitsToDouble(buffer.getLong(offset + PRICE_OFFSET)));
+        order.setVenueId(buffer.getInt(offset + VENUE_ID_OFFSET));
+        final int symbolLength = buffer.getInt(offset + SYMBOL_LENGTH_OFFSET);
+        final AsciiCharSequence symbolSequence = order.getSymbolSequence();
+        symbolSequence.reset();
+        for (int i = 0; i < symbolLength; i++)
+        {
+            symbolSequence.append(buffer.getChar(offset + SYMBOL_CHAR_BASE_OFFSET + (i * Character.BYTES)));
+        }
+        final int textLength = buffer.getInt(offset + TEXT_LENGTH_OFFSET);
+        final int textBaseOffset = offset + SYMBOL_CHAR_BASE_OFFSET + (symbolLength * Character.BYTES);
+        final AsciiCharSequence textSequence = container.getTextSequence();
+        textSequence.reset();
+        for (int i = 0; i < textLength; i++)
+        {
+            textSequence.append((char) buffer.getByte(textBaseOffset + i));
+        }
+    }
+
+    @Override
+    public long getId(final AnnotatedOrder value)
+    {
+        return value.getOrder().getId();
+    }
+
+    @Override
+    public int getLength(final AnnotatedOrder value)
+    {
+        return encodedLength(value);
+    }
+
+    static int encodedLength(final AnnotatedOrder value)
+    {
+        return HEADER_LENGTH + (value.getOrder().getSymbol().length() * Character.BYTES) + value.getText().length();
+    }
+}
@@ -0,0 +1,221 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.store.BufferStore;
+import com.aitusoftware.recall.store.Store;
+import com.aitusoftware.recall.store.UnsafeBufferOps;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.ref.BinaryLongReference;
+import net.openhft.chronicle.core.values.LongValue;
+import net.openhft.chronicle.map.ChronicleMap;
+import org.agrona.BitUtil;
+import org.agrona.collections.Hashing;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.caffinitas.ohc.OHCache;
+import org.caffinitas.ohc.OHCacheBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RecordSizeBenchmark
+{
+    private static final int TEST_DATA_LENGTH = 1024;
+    private static final int TEST_DATA_MASK = TEST_DATA_LENGTH - 1;
+    private static final int IDS_LENGTH = 16384;
+    private static final int IDS_MASK = IDS_LENGTH - 1;
+    private static final int MAX_SYMBOL_LENGTH = 8;
+    private static final int ENTRIES = 20_000;
+    private final OrderTextUnsafeBufferTranscoder transcoder = new OrderTextUnsafeBufferTranscoder();
+    private final AnnotatedOrder[] testData = new AnnotatedOrder[TEST_DATA_LENGTH];
+    private final long[] ids = new long[IDS_LENGTH];
+    private final Random random = new Random(12983719837394L);
+    private final BinaryLongReference longRef = new BinaryLongReference();
+    private final AnnotatedOrder container = new AnnotatedOrder();
+    private Store<UnsafeBuffer> fixedSlotStore;
+    private VariableLengthBufferStore variableLengthStore;
+    private ChronicleMap<LongValue, AnnotatedOrder> chronicleMap;
+    private OHCache<LongValue, AnnotatedOrder> ohCache;
+    private int fixedSlotLength;
+    private long fixedSlotBufferBytes;
+
+    @Param({"SHORT", "MIXED", "LONG"})
+    private RecordSizeDistribution distribution;
+    private long counter = 0;
+
+    @Setup
+    public void setup()
+    {
+        long totalTextLength = 0;
+        for (int i = 0; i < TEST_DATA_LENGTH; i++)
+        {
+            final AnnotatedOrder order = new AnnotatedOrder();
+            testData[i] = order;
+            order.getOrder().set(0, random.nextDouble(), random.nextDouble(), random.nextLong(),
+                random.nextInt(), random.nextLong(), "SYM_" + ((char) ('A' + random.nextInt(20))));
+            final int textLength = distribution.nextLength(random);
+            order.setText(randomText(textLength));
+            totalTextLength += textLength;
+        }
+        for (int i = 0; i < IDS_LENGTH; i++)
+        {
+            ids[i] = random.nextLong();
+        }
+        fixedSlotLength = OrderTextUnsafeBufferTranscoder.HEADER_LENGTH +
+            (MAX_SYMBOL_LENGTH * Character.BYTES) + distribution.maxLength();
+        fixedSlotStore = new BufferStore<>(fixedSlotLength, ENTRIES, len ->
+        {
+            // the store replaces its buffer when it grows, so only the latest allocation is retained
+            fixedSlotBufferBytes = len;
+            return new UnsafeBuffer(ByteBuffer.allocateDirect(len));
+        }, new UnsafeBufferOps());
+        variableLengthStore = new VariableLengthBufferStore(
+            OrderTextUnsafeBufferTranscoder.HEADER_LENGTH + distribution.minLength(), fixedSlotLength);
+
+        final AnnotatedOrder averageOrder = new AnnotatedOrder();
+        averageOrder.getOrder().set(0, 0, 0, 0, 0, 0, "SYM_A");
+        averageOrder.setText(randomText((int) (totalTextLength / TEST_DATA_LENGTH)));
+        chronicleMap = ChronicleMap.of(LongValue.class, AnnotatedOrder.class)
+            .entries(ENTRIES).averageValue(averageOrder)
+            .putReturnsNull(true)
+            .create();
+        longRef.bytesStore(Bytes.allocateDirect(8), 0, 8);
+        ohCache = OHCacheBuilder.<LongValue, AnnotatedOrder>newBuilder()
+            .keySerializer(new LongValueCacheSerializer())
+            .valueSerializer(new OrderTextCacheSerialiser())
+            .capacity(2L * ENTRIES * fixedSlotLength)
+            .unlocked(true)
+            .build();
+
+        populateMaps();
+    }
+
+    /**
+     * Reports record storage and id index separately for the recall stores. Both index by a
+     * {@link org.agrona.collections.Long2LongHashMap}, so the index is estimated from entry count for each.
+     * OHC and ChronicleMap do not separate their hash tables from record storage, so only totals are reported.
+     */
+    @TearDown
+    public void reportFootprint()
+    {
+        System.out.printf("%nRecord bytes (%s): fixed-slot=%d, variable-length=%d%n",
+            distribution, fixedSlotBufferBytes, variableLengthStore.recordBytes());
+        System.out.printf("Estimated index bytes (%s): fixed-slot=%d, variable-length=%d%n",
+            distribution, estimatedIndexBytes(fixedSlotStore.size()), estimatedIndexBytes(variableLengthStore.size()));
+        System.out.printf("Total bytes (%s): OHC=%d, ChronicleMap=%d%n",
+            distribution, ohCache.memUsed(), chronicleMap.offHeapMemoryUsed());
+    }
+
+    private void populateMaps()
+    {
+        for (int i = 0; i < ids.length; i++)
+        {
+            final AnnotatedOrder testDatum = testData[dataIndex(i)];
+            testDatum.getOrder().setId(ids[idIndex(i)]);
+            fixedSlotStore.store(transcoder, testDatum, transcoder);
+            variableLengthStore.store(transcoder, testDatum, transcoder, transcoder);
+            longRef.setValue(testDatum.getOrder().getId());
+            chronicleMap.put(longRef, testDatum);
+            ohCache.put(longRef, testDatum);
+        }
+    }
+
+    @Benchmark
+    public long storeEntryFixedSlot()
+    {
+        final AnnotatedOrder testDatum = testData[dataIndex(counter)];
+        testDatum.getOrder().setId(ids[idIndex(counter)]);
+        counter++;
+        fixedSlotStore.store(transcoder, testDatum, transcoder);
+        return fixedSlotStore.size();
+    }
+
+    @Benchmark
+    public long storeEntryVariableLength()
+    {
+        final AnnotatedOrder testDatum = testData[dataIndex(counter)];
+        testDatum.getOrder().setId(ids[idIndex(counter)]);
+        counter++;
+        variableLengthStore.store(transcoder, testDatum, transcoder, transcoder);
+        return variableLengthStore.size();
+    }
+
+    @Benchmark
+    public long storeEntryChronicleMap()
+    {
+        final AnnotatedOrder testDatum = testData[dataIndex(counter)];
+        testDatum.getOrder().setId(ids[idIndex(counter)]);
+        counter++;
+        longRef.setValue(testDatum.getOrder().getId());
+        chronicleMap.put(longRef, testDatum);
+        return chronicleMap.size();
+    }
+
+    @Benchmark
+    public long storeEntryOHCMap()
+    {
+        final AnnotatedOrder testDatum = testData[dataIndex(counter)];
+        testDatum.getOrder().setId(ids[idIndex(counter)]);
+        counter++;
+        longRef.setValue(testDatum.getOrder().getId());
+        ohCache.put(longRef, testDatum);
+        return ohCache.size();
+    }
+
+    @Benchmark
+    public void getRandomEntryFixedSlot(final Blackhole bh)
+    {
+        bh.consume(fixedSlotStore.load(ids[idIndex(counter++)], transcoder, container));
+    }
+
+    @Benchmark
+    public void getRandomEntryVariableLength(final Blackhole bh)
+    {
+        bh.consume(variableLengthStore.load(ids[idIndex(counter++)], transcoder, container));
+    }
+
+    @Benchmark
+    public void getRandomEntryChronicleMap(final Blackhole bh)
+    {
+        longRef.setValue(ids[idIndex(counter++)]);
+        bh.consume(chronicleMap.getUsing(longRef, container));
+    }
+
+    @Benchmark
+    public void getRandomEntryOHCMap(final Blackhole bh)
+    {
+        longRef.setValue(ids[idIndex(counter++)]);
+        bh.consume(ohCache.get(longRef));
+    }
+
+    private static long estimatedIndexBytes(final long entries)
+    {
+        final int capacity = BitUtil.findNextPositivePowerOfTwo(
+            (int) Math.ceil(Math.max(entries, 1) / (double) Hashing.DEFAULT_LOAD_FACTOR));
+        return (long) capacity * 2 * Long.BYTES;
+    }
+
+    private CharSequence randomText(final int length)
+    {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            builder.append((char) ('A' + random.nextInt('Z' - 'A')));
+        }
+        return builder;
+    }
+
+    private static int idIndex(final long counter)
+    {
+        return (int) (counter & IDS_MASK);
+    }
+
+    private static int dataIndex(final long counter)
+    {
+        return (int) (counter & TEST_DATA_MASK);
+    }
+}
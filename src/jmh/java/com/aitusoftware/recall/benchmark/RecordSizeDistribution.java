@@ -0,0 +1,56 @@
+package com.aitusoftware.recall.benchmark;
+
+import java.util.Random;
+
+/**
+ * Distributions of free-text field length, in bytes, used to sweep record sizes.
+ */
+public enum RecordSizeDistribution
+{
+    /**
+     * Uniformly short text.
+     */
+    SHORT(10, 50, 0),
+    /**
+     * Mostly short text, with one in five records carrying long text.
+     */
+    MIXED(10, 500, 20),
+    /**
+     * Uniformly long text.
+     */
+    LONG(400, 500, 100);
+
+    private static final int SHORT_TEXT_MAX_LENGTH = 50;
+
+    private final int minLength;
+    private final int maxLength;
+    private final int longPercentage;
+
+    RecordSizeDistribution(final int minLength, final int maxLength, final int longPercentage)
+    {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.longPercentage = longPercentage;
+    }
+
+    public int minLength()
+    {
+        return minLength;
+    }
+
+    public int maxLength()
+    {
+        return maxLength;
+    }
+
+    public int nextLength(final Random random)
+    {
+        if (random.nextInt(100) < longPercentage)
+        {
+            final int longMinLength = Math.max(minLength, SHORT_TEXT_MAX_LENGTH);
+            return longMinLength + random.nextInt(maxLength - longMinLength + 1);
+        }
+        final int shortMaxLength = Math.min(maxLength, SHORT_TEXT_MAX_LENGTH);
+        return minLength + random.nextInt(shortMaxLength - minLength + 1);
+    }
+}
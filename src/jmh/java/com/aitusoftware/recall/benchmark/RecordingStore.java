@@ -0,0 +1,81 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.Decoder;
+import com.aitusoftware.recall.persistence.Encoder;
+import com.aitusoftware.recall.persistence.IdAccessor;
+import com.aitusoftware.recall.store.Store;
+
+import java.io.OutputStream;
+
+/**
+ * Decorates a {@link Store}, recording each load and store to an {@link AccessTraceRecorder}.
+ *
+ * @param <B> the type of buffer used by the store
+ */
+public final class RecordingStore<B> implements Store<B>
+{
+    private final Store<B> delegate;
+    private final AccessTraceRecorder recorder;
+
+    public RecordingStore(final Store<B> delegate, final AccessTraceRecorder recorder)
+    {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public <T> boolean load(final long id, final Decoder<B, T> decoder, final T container)
+    {
+        recorder.record(AccessTrace.OP_LOAD, id);
+        return delegate.load(id, decoder, container);
+    }
+
+    @Override
+    public <T> void store(final Encoder<B, T> encoder, final T value, final IdAccessor<T> idAccessor)
+    {
+        recorder.record(AccessTrace.OP_STORE, idAccessor.getId(value));
+        delegate.store(encoder, value, idAccessor);
+    }
+
+    @Override
+    public boolean remove(final long id)
+    {
+        return delegate.remove(id);
+    }
+
+    @Override
+    public void compact()
+    {
+        delegate.compact();
+    }
+
+    @Override
+    public void streamTo(final OutputStream output)
+    {
+        delegate.streamTo(output);
+    }
+
+    @Override
+    public void sync()
+    {
+        delegate.sync();
+    }
+
+    @Override
+    public int size()
+    {
+        return delegate.size();
+    }
+
+    @Override
+    public float utilisation()
+    {
+        return delegate.utilisation();
+    }
+
+    @Override
+    public void clear()
+    {
+        delegate.clear();
+    }
+}
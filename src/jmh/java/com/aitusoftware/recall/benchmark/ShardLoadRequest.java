@@ -0,0 +1,44 @@
+package com.aitusoftware.recall.benchmark;
+
+/**
+ * A load submitted to the {@link StoreShard} owning an order. A request is reused by its submitting thread,
+ * which waits for {@link #isComplete()} before reading the result.
+ */
+public final class ShardLoadRequest
+{
+    private final Order container;
+    private boolean found;
+    private volatile boolean complete;
+
+    public ShardLoadRequest(final Order container)
+    {
+        this.container = container;
+    }
+
+    public Order container()
+    {
+        return container;
+    }
+
+    public boolean found()
+    {
+        return found;
+    }
+
+    public boolean isComplete()
+    {
+        return complete;
+    }
+
+    void reset()
+    {
+        found = false;
+        complete = false;
+    }
+
+    void execute(final StoreShard shard, final long id)
+    {
+        found = shard.load(id, container);
+        complete = true;
+    }
+}
@@ -0,0 +1,114 @@
+package com.aitusoftware.recall.benchmark;
+
+import org.agrona.collections.Hashing;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.hints.ThreadHints;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Partitions orders by session across independent {@link StoreShard}s, each owned by a single thread.
+ *
+ * Operations on another thread's shard are submitted to that shard's command buffer, so a thread's stores and
+ * loads against a given shard are executed in order. While waiting for buffer space or for a load to complete,
+ * the caller executes commands submitted to its own shard, so that shards waiting on each other cannot block.
+ */
+public final class ShardedStore
+{
+    private final StoreShard[] shards;
+    private final ShardLoadRequest[] loadRequests;
+    private final UnsafeBuffer[] scratchBuffers;
+
+    /**
+     * @param shardCount          number of shards, one per owning thread
+     * @param maxRecordLength     maximum length of an encoded order
+     * @param entriesPerShard     initial capacity of each shard's store
+     * @param commandBufferLength length in bytes of each shard's command buffer, which must be a power of two
+     */
+    public ShardedStore(
+        final int shardCount, final int maxRecordLength, final int entriesPerShard, final int commandBufferLength)
+    {
+        shards = new StoreShard[shardCount];
+        loadRequests = new ShardLoadRequest[shardCount];
+        scratchBuffers = new UnsafeBuffer[shardCount];
+        for (int i = 0; i < shardCount; i++)
+        {
+            shards[i] = new StoreShard(maxRecordLength, entriesPerShard, commandBufferLength, loadRequests);
+            scratchBuffers[i] = new UnsafeBuffer(ByteBuffer.allocateDirect(StoreShard.scratchLength(maxRecordLength)));
+        }
+    }
+
+    public int shardCount()
+    {
+        return shards.length;
+    }
+
+    public StoreShard shard(final int shardIndex)
+    {
+        return shards[shardIndex];
+    }
+
+    public int shardFor(final long sessionId)
+    {
+        return (Hashing.hash(sessionId) & Integer.MAX_VALUE) % shards.length;
+    }
+
+    /**
+     * Stores an order directly if it belongs to the calling thread's shard, otherwise submits a copy of it to
+     * the owning shard, waiting for buffer space if necessary. The order may be reused once this method returns.
+     *
+     * @param ownerShardIndex index of the shard owned by the calling thread
+     * @param order           the order to store
+     */
+    public void store(final int ownerShardIndex, final Order order)
+    {
+        final int shardIndex = shardFor(order.getSessionId());
+        if (shardIndex == ownerShardIndex)
+        {
+            shards[shardIndex].store(order);
+            return;
+        }
+        while (!shards[shardIndex].offerStore(order, scratchBuffers[ownerShardIndex]))
+        {
+            awaitProgress(ownerShardIndex);
+        }
+    }
+
+    /**
+     * Loads an order directly if it belongs to the calling thread's shard, otherwise submits the load to the
+     * owning shard and waits for it to complete.
+     *
+     * @param ownerShardIndex index of the shard owned by the calling thread
+     * @param sessionId       session of the order
+     * @param id              id of the order
+     * @param request         request to execute the load with, whose container receives the order
+     * @return whether the order was found
+     */
+    public boolean load(final int ownerShardIndex, final long sessionId, final long id, final ShardLoadRequest request)
+    {
+        final int shardIndex = shardFor(sessionId);
+        if (shardIndex == ownerShardIndex)
+        {
+            return shards[shardIndex].load(id, request.container());
+        }
+        request.reset();
+        loadRequests[ownerShardIndex] = request;
+        while (!shards[shardIndex].offerLoad(id, ownerShardIndex, scratchBuffers[ownerShardIndex]))
+        {
+            awaitProgress(ownerShardIndex);
+        }
+        while (!request.isComplete())
+        {
+            awaitProgress(ownerShardIndex);
+        }
+        return request.found();
+    }
+
+    private void awaitProgress(final int ownerShardIndex)
+    {
+        if (shards[ownerShardIndex].processCommands() == 0)
+        {
+            ThreadHints.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.store.BufferStore;
+import com.aitusoftware.recall.store.Store;
+import com.aitusoftware.recall.store.UnsafeBufferOps;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compares aggregate throughput of a {@link ShardedStore}, with one shard per benchmark thread,
+ * against a single store shared under a lock. Run with {@code ./gradlew jmhScaling} to measure scaling by thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShardedStoreBenchmark
+{
+    private static final int ORDERS_PER_THREAD = 16384;
+    private static final int ORDERS_MASK = ORDERS_PER_THREAD - 1;
+    private static final int MAX_RECORD_LENGTH = 64;
+    private static final int COMMAND_BUFFER_LENGTH = 8 * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class Stores
+    {
+        private ShardedStore shardedStore;
+        private Store<UnsafeBuffer> lockedStore;
+
+        @Setup
+        public void setup(final BenchmarkParams benchmarkParams)
+        {
+            final int threadCount = benchmarkParams.getThreads();
+            shardedStore = new ShardedStore(
+                threadCount, MAX_RECORD_LENGTH, 2 * ORDERS_PER_THREAD, COMMAND_BUFFER_LENGTH);
+            lockedStore = new BufferStore<>(MAX_RECORD_LENGTH, 2 * ORDERS_PER_THREAD * threadCount,
+                len -> new UnsafeBuffer(ByteBuffer.allocateDirect(len)), new UnsafeBufferOps());
+            verifyStoreThenLoad(threadCount);
+        }
+
+        /**
+         * Checks that a load submitted after a store by the same thread observes it, for every pair of shards.
+         * Runs on a separate store with a thread per shard, as cross-shard loads need the owning thread running.
+         */
+        private static void verifyStoreThenLoad(final int shardCount)
+        {
+            final ShardedStore shardedStore = new ShardedStore(shardCount, MAX_RECORD_LENGTH, 1024, 64 * 1024);
+            final AtomicInteger running = new AtomicInteger(shardCount);
+            final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+            final Thread[] threads = new Thread[shardCount];
+            for (int i = 0; i < shardCount; i++)
+            {
+                final int shardIndex = i;
+                threads[i] = new Thread(() ->
+                {
+                    final Random random = new Random(shardIndex);
+                    final ShardLoadRequest loadRequest = new ShardLoadRequest(new Order());
+                    for (int targetShardIndex = 0; targetShardIndex < shardCount; targetShardIndex++)
+                    {
+                        long sessionId = random.nextLong();
+                        while (shardedStore.shardFor(sessionId) != targetShardIndex)
+                        {
+                            sessionId = random.nextLong();
+                        }
+                        final Order order = newOrder(random, sessionId);
+                        shardedStore.store(shardIndex, order);
+                        final long id = order.getId();
+                        // the submitted order has been copied, so reusing it must not affect the stored record
+                        order.setId(id + 1);
+                        if (!shardedStore.load(shardIndex, sessionId, id, loadRequest) ||
+                            loadRequest.container().getId() != id)
+                        {
+                            failure.compareAndSet(null, new IllegalStateException(
+                                "Order " + id + " stored to shard " + targetShardIndex + " not found by next load"));
+                        }
+                    }
+                    running.decrementAndGet();
+                    while (running.get() != 0)
+                    {
+                        // keep serving loads from threads that have not finished
+                        shardedStore.shard(shardIndex).processCommands();
+                    }
+                });
+                threads[i].start();
+            }
+            for (final Thread thread : threads)
+            {
+                try
+                {
+                    thread.join();
+                }
+                catch (final InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (failure.get() != null)
+            {
+                throw failure.get();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void processOutstandingCommands()
+        {
+            for (int i = 0; i < shardedStore.shardCount(); i++)
+            {
+                while (shardedStore.shard(i).processCommands() != 0)
+                {
+                    // drain commands left by threads that finished the iteration first
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ShardOwner
+    {
+        @Param({"0", "10", "50"})
+        private int crossShardPercentage;
+        private final Order[] orders = new Order[ORDERS_PER_THREAD];
+        private final ShardLoadRequest loadRequest = new ShardLoadRequest(new Order());
+        private int shardIndex;
+        private long counter;
+
+        @Setup
+        public void setup(final Stores stores, final ThreadParams threadParams)
+        {
+            final ShardedStore shardedStore = stores.shardedStore;
+            final Random random = new Random(12983719837394L + threadParams.getThreadIndex());
+            shardIndex = threadParams.getThreadIndex();
+            for (int i = 0; i < ORDERS_PER_THREAD; i++)
+            {
+                int targetShardIndex = shardIndex;
+                if (shardedStore.shardCount() > 1 && random.nextInt(100) < crossShardPercentage)
+                {
+                    targetShardIndex = (shardIndex + 1 + random.nextInt(shardedStore.shardCount() - 1)) %
+                        shardedStore.shardCount();
+                }
+                long sessionId = random.nextLong();
+                while (shardedStore.shardFor(sessionId) != targetShardIndex)
+                {
+                    sessionId = random.nextLong();
+                }
+                orders[i] = newOrder(random, sessionId);
+                // other threads may already be running against their shards, so populate through the command buffers
+                shardedStore.store(shardIndex, orders[i]);
+            }
+        }
+
+        private Order nextOrder()
+        {
+            return orders[(int) (counter++ & ORDERS_MASK)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LockedClient
+    {
+        private final OrderUnsafeBufferTranscoder transcoder = new OrderUnsafeBufferTranscoder();
+        private final Order[] orders = new Order[ORDERS_PER_THREAD];
+        private final Order container = new Order();
+        private long counter;
+
+        @Setup
+        public void setup(final Stores stores, final ThreadParams threadParams)
+        {
+            final Random random = new Random(12983719837394L + threadParams.getThreadIndex());
+            final Store<UnsafeBuffer> lockedStore = stores.lockedStore;
+            for (int i = 0; i < ORDERS_PER_THREAD; i++)
+            {
+                orders[i] = newOrder(random, random.nextLong());
+                synchronized (lockedStore)
+                {
+                    lockedStore.store(transcoder, orders[i], transcoder);
+                }
+            }
+        }
+
+        private Order nextOrder()
+        {
+            return orders[(int) (counter++ & ORDERS_MASK)];
+        }
+    }
+
+    @Benchmark
+    public int storeEntrySharded(final Stores stores, final ShardOwner owner)
+    {
+        stores.shardedStore.store(owner.shardIndex, owner.nextOrder());
+        return stores.shardedStore.shard(owner.shardIndex).processCommands();
+    }
+
+    @Benchmark
+    public boolean loadEntrySharded(final Stores stores, final ShardOwner owner)
+    {
+        final Order order = owner.nextOrder();
+        final boolean found = stores.shardedStore.load(
+            owner.shardIndex, order.getSessionId(), order.getId(), owner.loadRequest);
+        stores.shardedStore.shard(owner.shardIndex).processCommands();
+        return found;
+    }
+
+    @Benchmark
+    public long storeEntryLocked(final Stores stores, final LockedClient client)
+    {
+        final Store<UnsafeBuffer> lockedStore = stores.lockedStore;
+        synchronized (lockedStore)
+        {
+            lockedStore.store(client.transcoder, client.nextOrder(), client.transcoder);
+            return lockedStore.size();
+        }
+    }
+
+    @Benchmark
+    public boolean loadEntryLocked(final Stores stores, final LockedClient client)
+    {
+        final Store<UnsafeBuffer> lockedStore = stores.lockedStore;
+        synchronized (lockedStore)
+        {
+            return lockedStore.load(client.nextOrder().getId(), client.transcoder, client.container);
+        }
+    }
+
+    private static Order newOrder(final Random random, final long sessionId)
+    {
+        final Order order = new Order();
+        order.set(random.nextLong(), random.nextDouble(), random.nextDouble(), sessionId,
+            random.nextInt(), random.nextLong(), "SYM_" + ((char) ('A' + random.nextInt(20))));
+        return order;
+    }
+}
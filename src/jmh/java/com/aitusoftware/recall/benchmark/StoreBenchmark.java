@@ -1,6 +1,5 @@
 package com.aitusoftware.recall.benchmark;
 
-import com.aitusoftware.recall.persistence.AsciiCharSequence;
 import com.aitusoftware.recall.store.BufferStore;
 import com.aitusoftware.recall.store.ByteBufferOps;
 import com.aitusoftware.recall.store.Store;
@@ -9,13 +8,14 @@ import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.ref.BinaryLongReference;
 import net.openhft.chronicle.core.values.LongValue;
 import net.openhft.chronicle.map.ChronicleMap;
+import org.agrona.IoUtil;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.caffinitas.ohc.CacheSerializer;
 import org.caffinitas.ohc.OHCache;
 import org.caffinitas.ohc.OHCacheBuilder;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +37,9 @@ public class StoreBenchmark
     private final Store<UnsafeBuffer> unsafeBufferStore = new BufferStore<>(
             MAX_RECORD_LENGTH, ENTRIES, len ->
         new UnsafeBuffer(ByteBuffer.allocateDirect(len)), new UnsafeBufferOps());
+    private final Store<UnsafeBuffer> instrumentedUnsafeBufferDelegate = new BufferStore<>(
+            MAX_RECORD_LENGTH, ENTRIES, len ->
+        new UnsafeBuffer(ByteBuffer.allocateDirect(len)), new UnsafeBufferOps());
     private final OrderByteBufferTranscoder byteBufferTranscoder = new OrderByteBufferTranscoder();
     private final OrderUnsafeBufferTranscoder unsafeBufferTranscoder = new OrderUnsafeBufferTranscoder();
     private final Order[] testData = new Order[TEST_DATA_LENGTH];
@@ -44,9 +47,12 @@ public class StoreBenchmark
     private final Random random = new Random(12983719837394L);
     private final BinaryLongReference longRef = new BinaryLongReference();
     private final Order container = new Order();
-    private final OrderCacheSerialiser valueSerializer = new OrderCacheSerialiser();
+    private final OrderCacheSerialiser valueSerializer = new OrderCacheSerialiser(MAX_RECORD_LENGTH);
     private ChronicleMap<LongValue, Order> chronicleMap;
     private OHCache<LongValue, Order> ohCache;
+    private File countersFile;
+    private StoreCounters storeCounters;
+    private InstrumentedStore<UnsafeBuffer> instrumentedUnsafeBufferStore;
 
     private long counter = 0;
 
@@ -77,10 +83,22 @@ public class StoreBenchmark
                 .chunkSize(128)
                 .unlocked(true)
                 .build();
+        countersFile = new File(IoUtil.tmpDirName(), "store-counters-" + System.nanoTime() + ".dat");
+        storeCounters = new StoreCounters(countersFile, 16);
+        instrumentedUnsafeBufferStore = new InstrumentedStore<>(
+            instrumentedUnsafeBufferDelegate, storeCounters, "unsafeBufferStore");
 
         populateMaps();
     }
 
+    @TearDown
+    public void tearDown()
+    {
+        instrumentedUnsafeBufferStore.close();
+        storeCounters.close();
+        countersFile.delete();
+    }
+
     private void populateMaps()
     {
         for (int i = 0; i < ids.length; i++)
@@ -89,6 +107,7 @@ public class StoreBenchmark
             testDatum.setId(ids[idIndex(i)]);
             byteBufferStore.store(byteBufferTranscoder, testDatum, byteBufferTranscoder);
             unsafeBufferStore.store(unsafeBufferTranscoder, testDatum, unsafeBufferTranscoder);
+            instrumentedUnsafeBufferStore.store(unsafeBufferTranscoder, testDatum, unsafeBufferTranscoder);
             longRef.setValue(testDatum.getId());
             chronicleMap.put(longRef, testDatum);
             ohCache.put(longRef, testDatum);
@@ -175,6 +194,12 @@ public class StoreBenchmark
         bh.consume(unsafeBufferStore.load(ids[idIndex(counter++)], unsafeBufferTranscoder, container));
     }
 
+    @Benchmark
+    public void getRandomEntryInstrumentedUnsafeBuffer(final Blackhole bh)
+    {
+        bh.consume(instrumentedUnsafeBufferStore.load(ids[idIndex(counter++)], unsafeBufferTranscoder, container));
+    }
+
 //    @Benchmark
     public void getRandomEntryChronicleMap(final Blackhole bh)
     {
@@ -198,87 +223,4 @@ public class StoreBenchmark
     {
         return (int) (counter & TEST_DATA_MASK);
     }
-
-    private static class LongValueCacheSerializer implements CacheSerializer<LongValue>
-    {
-        @Override
-        public void serialize(final LongValue value, final ByteBuffer buf)
-        {
-            buf.putLong(value.getValue());
-        }
-
-        @Override
-        public LongValue deserialize(final ByteBuffer buf)
-        {
-            final BinaryLongReference longRef = new BinaryLongReference();
-            longRef.bytesStore(Bytes.allocateDirect(8), 0, 8);
-            return longRef;
-        }
-
-        @Override
-        public int serializedSize(LongValue value)
-        {
-            return Long.BYTES;
-        }
-    }
-
-    private class OrderCacheSerialiser implements CacheSerializer<Order>
-    {
-        private static final int SESSION_ID_OFFSET = Long.BYTES;
-        private static final int TIMESTAMP_OFFSET = (2 * Long.BYTES);
-        private static final int QUANTITY_OFFSET = (3 * Long.BYTES);
-        private static final int PRICE_OFFSET = (4 * Long.BYTES);
-        private static final int VENUE_ID_OFFSET = (5 * Long.BYTES);
-        private static final int SYMBOL_LENGTH_OFFSET = (5 * Long.BYTES) + Integer.BYTES;
-        private static final int SYMBOL_CHAR_BASE_OFFSET = (5 * Long.BYTES) + (2 * Integer.BYTES);
-
-        private final Order lastLoaded = new Order();
-
-        @Override
-        public void serialize(Order value, ByteBuffer buffer)
-        {
-            final int offset = buffer.position();
-            buffer.putLong(offset, value.getId());
-            buffer.putLong(offset + SESSION_ID_OFFSET, value.getSessionId());
-            buffer.putLong(offset + TIMESTAMP_OFFSET, value.getTimestamp());
-            buffer.putLong(offset + QUANTITY_OFFSET, Double.doubleToRawLongBits(value.getQuantity()));
-            buffer.putLong(offset + PRICE_OFFSET, Double.doubleToRawLongBits(value.getPrice()));
-            buffer.putInt(offset + VENUE_ID_OFFSET, value.getVenueId());
-            final int length = value.getSymbol().length();
-            buffer.putInt(offset + SYMBOL_LENGTH_OFFSET, length);
-            for (int i = 0; i < length; i++)
-            {
-                buffer.putChar(offset + SYMBOL_CHAR_BASE_OFFSET + (i * Character.BYTES),
-                        value.getSymbol().charAt(i));
-            }
-        }
-
-        @Override
-        public Order deserialize(ByteBuffer buffer)
-        {
-            final Order container = lastLoaded;
-            final int offset = buffer.position();
-            container.setId(buffer.getLong(offset));
-            container.setSessionId(buffer.getLong(offset + SESSION_ID_OFFSET));
-            container.setTimestamp(buffer.getLong(offset + TIMESTAMP_OFFSET));
-            container.setQuantity(Double.longBitsToDouble(buffer.getLong(offset + QUANTITY_OFFSET)));
-            container.setPrice(Double.longBitsToDouble(buffer.getLong(offset + PRICE_OFFSET)));
-            container.setVenueId(buffer.getInt(offset + VENUE_ID_OFFSET));
-            final int symbolLength = buffer.getInt(offset + SYMBOL_LENGTH_OFFSET);
-            final AsciiCharSequence symbolSequence = container.getSymbolSequence();
-            symbolSequence.reset();
-            for (int i = 0; i < symbolLength; i++)
-            {
-                symbolSequence.append(buffer.getChar(offset + SYMBOL_CHAR_BASE_OFFSET + (i * Character.BYTES)));
-            }
-
-            return container;
-        }
-
-        @Override
-        public int serializedSize(Order value)
-        {
-            return MAX_RECORD_LENGTH;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.aitusoftware.recall.benchmark;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Memory-mapped counters file, laid out in the style of an Aeron CnC file, so that counters
+ * allocated by a store can be read by an external process.
+ *
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                           Version                             |
+ *  +---------------------------------------------------------------+
+ *  |                    Metadata Buffer Length                     |
+ *  +---------------------------------------------------------------+
+ *  |                     Values Buffer Length                      |
+ *  +---------------------------------------------------------------+
+ *  |                Padding to HEADER_LENGTH                      ...
+ *  +---------------------------------------------------------------+
+ *  |                       Metadata Buffer                        ...
+ *  +---------------------------------------------------------------+
+ *  |                        Values Buffer                         ...
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public final class StoreCounters implements AutoCloseable
+{
+    public static final int VERSION = 1;
+    public static final int STORE_COUNTER_TYPE_ID = 1001;
+
+    static final int VERSION_OFFSET = 0;
+    static final int METADATA_LENGTH_OFFSET = VERSION_OFFSET + Integer.BYTES;
+    static final int VALUES_LENGTH_OFFSET = METADATA_LENGTH_OFFSET + Integer.BYTES;
+    static final int HEADER_LENGTH = 128;
+
+    private final MappedByteBuffer mappedBuffer;
+    private final CountersManager countersManager;
+
+    public StoreCounters(final File file, final int maxCounters)
+    {
+        final int valuesLength = maxCounters * CountersReader.COUNTER_LENGTH;
+        final int metadataLength = maxCounters * CountersReader.METADATA_LENGTH;
+        IoUtil.deleteIfExists(file);
+        mappedBuffer = IoUtil.mapNewFile(file, HEADER_LENGTH + metadataLength + valuesLength);
+        final UnsafeBuffer header = new UnsafeBuffer(mappedBuffer, 0, HEADER_LENGTH);
+        header.putInt(METADATA_LENGTH_OFFSET, metadataLength);
+        header.putInt(VALUES_LENGTH_OFFSET, valuesLength);
+        countersManager = new CountersManager(
+            new UnsafeBuffer(mappedBuffer, HEADER_LENGTH, metadataLength),
+            new UnsafeBuffer(mappedBuffer, HEADER_LENGTH + metadataLength, valuesLength));
+        header.putIntVolatile(VERSION_OFFSET, VERSION);
+    }
+
+    public AtomicCounter newCounter(final String label)
+    {
+        return countersManager.newCounter(label, STORE_COUNTER_TYPE_ID);
+    }
+
+    /**
+     * Maps an existing counters file for reading; the returned reader is valid until the buffer is unmapped.
+     *
+     * @param mappedBuffer buffer mapped from a file created by {@link StoreCounters}
+     * @return a reader over the counters in the file
+     */
+    public static CountersReader reader(final MappedByteBuffer mappedBuffer)
+    {
+        final AtomicBuffer header = new UnsafeBuffer(mappedBuffer, 0, HEADER_LENGTH);
+        final int version = header.getIntVolatile(VERSION_OFFSET);
+        if (version != VERSION)
+        {
+            throw new IllegalStateException("Unsupported counters file version: " + version);
+        }
+        final int metadataLength = header.getInt(METADATA_LENGTH_OFFSET);
+        final int valuesLength = header.getInt(VALUES_LENGTH_OFFSET);
+        return new CountersReader(
+            new UnsafeBuffer(mappedBuffer, HEADER_LENGTH, metadataLength),
+            new UnsafeBuffer(mappedBuffer, HEADER_LENGTH + metadataLength, valuesLength));
+    }
+
+    @Override
+    public void close()
+    {
+        IoUtil.unmap(mappedBuffer);
+    }
+
+    /**
+     * Prints the counters in a file, along with their rate of change when a sampling interval is supplied.
+     *
+     * @param args counters file, optionally followed by a sampling interval in milliseconds
+     * @throws InterruptedException if interrupted while sampling
+     */
+    public static void main(final String[] args) throws InterruptedException
+    {
+        final MappedByteBuffer mappedBuffer = IoUtil.mapExistingFile(new File(args[0]), "store-counters");
+        try
+        {
+            final CountersReader reader = reader(mappedBuffer);
+            final long intervalMs = args.length > 1 ? Long.parseLong(args[1]) : 0;
+            final long[] previous = new long[reader.maxCounterId()];
+            do
+            {
+                reader.forEach((counterId, label) ->
+                {
+                    final long value = reader.getCounterValue(counterId);
+                    if (intervalMs == 0)
+                    {
+                        System.out.printf("%3d: %,20d - %s%n", counterId, value, label);
+                    }
+                    else
+                    {
+                        final long ratePerSecond = ((value - previous[counterId]) * 1000) / intervalMs;
+                        System.out.printf("%3d: %,20d %,15d/s - %s%n", counterId, value, ratePerSecond, label);
+                    }
+                    previous[counterId] = value;
+                });
+                if (intervalMs != 0)
+                {
+                    System.out.println();
+                    Thread.sleep(intervalMs);
+                }
+            }
+            while (intervalMs != 0);
+        }
+        finally
+        {
+            IoUtil.unmap(mappedBuffer);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.Encoder;
+import com.aitusoftware.recall.persistence.IdAccessor;
+import com.aitusoftware.recall.store.BufferStore;
+import com.aitusoftware.recall.store.Store;
+import com.aitusoftware.recall.store.UnsafeBufferOps;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A single partition of a {@link ShardedStore}. The partition's store is only accessed by its owning thread;
+ * other threads submit stores and loads as typed commands on a single many-to-one ring buffer, which the owner
+ * drains. As there is one command stream per shard, commands from a given thread are executed in the order
+ * they were submitted.
+ *
+ * Store commands carry the encoded record, so the submitted order may be reused as soon as the command is written.
+ */
+public final class StoreShard implements MessageHandler
+{
+    static final int STORE_MSG_TYPE_ID = 1;
+    static final int LOAD_MSG_TYPE_ID = 2;
+
+    private static final int COMMAND_LIMIT = 64;
+    private static final int ID_OFFSET = 0;
+    private static final int RECORD_OFFSET = ID_OFFSET + Long.BYTES;
+    private static final int REQUESTER_OFFSET = ID_OFFSET + Long.BYTES;
+    private static final int LOAD_LENGTH = REQUESTER_OFFSET + Integer.BYTES;
+
+    private final Store<UnsafeBuffer> store;
+    private final ManyToOneRingBuffer commands;
+    private final ShardLoadRequest[] loadRequests;
+    private final int maxRecordLength;
+    private final OrderUnsafeBufferTranscoder transcoder = new OrderUnsafeBufferTranscoder();
+    private final EncodedRecord encodedRecord = new EncodedRecord();
+
+    StoreShard(
+        final int maxRecordLength,
+        final int entries,
+        final int commandBufferLength,
+        final ShardLoadRequest[] loadRequests)
+    {
+        this.maxRecordLength = maxRecordLength;
+        this.loadRequests = loadRequests;
+        store = new BufferStore<>(
+            maxRecordLength, entries, len -> new UnsafeBuffer(ByteBuffer.allocateDirect(len)), new UnsafeBufferOps());
+        commands = new ManyToOneRingBuffer(new UnsafeBuffer(
+            ByteBuffer.allocateDirect(commandBufferLength + RingBufferDescriptor.TRAILER_LENGTH)));
+    }
+
+    /**
+     * Stores an order; must only be called by the owning thread.
+     *
+     * @param order the order to store
+     */
+    public void store(final Order order)
+    {
+        store.store(transcoder, order, transcoder);
+    }
+
+    /**
+     * Loads an order; must only be called by the owning thread.
+     *
+     * @param id        the id of the order
+     * @param container the order to decode into
+     * @return whether the order was found
+     */
+    public boolean load(final long id, final Order container)
+    {
+        return store.load(id, transcoder, container);
+    }
+
+    /**
+     * Submits an order to be stored by the owning thread. The order is encoded into the command, using the
+     * caller's scratch buffer, so it may be modified as soon as this method returns true.
+     *
+     * @param order   the order to store
+     * @param scratch buffer of at least {@link #scratchLength(int)} bytes owned by the calling thread
+     * @return false if the command buffer is full
+     */
+    public boolean offerStore(final Order order, final UnsafeBuffer scratch)
+    {
+        scratch.putLong(ID_OFFSET, order.getId());
+        transcoder.store(scratch, RECORD_OFFSET, order);
+        return commands.write(STORE_MSG_TYPE_ID, scratch, 0, RECORD_OFFSET + maxRecordLength);
+    }
+
+    /**
+     * Submits a load to be executed by the owning thread, which completes the requester's {@link ShardLoadRequest}.
+     *
+     * @param id             the id of the order to load
+     * @param requesterIndex index of the shard owned by the calling thread
+     * @param scratch        buffer owned by the calling thread
+     * @return false if the command buffer is full
+     */
+    public boolean offerLoad(final long id, final int requesterIndex, final UnsafeBuffer scratch)
+    {
+        scratch.putLong(ID_OFFSET, id);
+        scratch.putInt(REQUESTER_OFFSET, requesterIndex);
+        return commands.write(LOAD_MSG_TYPE_ID, scratch, 0, LOAD_LENGTH);
+    }
+
+    /**
+     * Executes commands submitted by other threads, in submission order; must only be called by the owning thread.
+     *
+     * @return the number of commands processed
+     */
+    public int processCommands()
+    {
+        return commands.read(this, COMMAND_LIMIT);
+    }
+
+    @Override
+    public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        if (msgTypeId == STORE_MSG_TYPE_ID)
+        {
+            encodedRecord.wrap(buffer.getLong(index + ID_OFFSET), buffer, index + RECORD_OFFSET);
+            store.store(encodedRecord, encodedRecord, encodedRecord);
+        }
+        else if (msgTypeId == LOAD_MSG_TYPE_ID)
+        {
+            loadRequests[buffer.getInt(index + REQUESTER_OFFSET)].execute(this, buffer.getLong(index + ID_OFFSET));
+        }
+        else
+        {
+            throw new IllegalStateException("Unknown command type: " + msgTypeId);
+        }
+    }
+
+    public long size()
+    {
+        return store.size();
+    }
+
+    /**
+     * @param maxRecordLength maximum length of an encoded record
+     * @return the length of scratch buffer required to submit commands
+     */
+    static int scratchLength(final int maxRecordLength)
+    {
+        return RECORD_OFFSET + maxRecordLength;
+    }
+
+    /**
+     * A record already encoded into a command, copied into the store as-is.
+     */
+    private final class EncodedRecord implements Encoder<UnsafeBuffer, EncodedRecord>, IdAccessor<EncodedRecord>
+    {
+        private long id;
+        private DirectBuffer source;
+        private int sourceOffset;
+
+        void wrap(final long id, final DirectBuffer source, final int sourceOffset)
+        {
+            this.id = id;
+            this.source = source;
+            this.sourceOffset = sourceOffset;
+        }
+
+        @Override
+        public void store(final UnsafeBuffer buffer, final int offset, final EncodedRecord value)
+        {
+            buffer.putBytes(offset, value.source, value.sourceOffset, maxRecordLength);
+        }
+
+        @Override
+        public long getId(final EncodedRecord value)
+        {
+            return value.id;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.store.BufferStore;
+import com.aitusoftware.recall.store.Store;
+import com.aitusoftware.recall.store.UnsafeBufferOps;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.ref.BinaryLongReference;
+import net.openhft.chronicle.core.values.LongValue;
+import net.openhft.chronicle.map.ChronicleMap;
+import org.agrona.IoUtil;
+import org.agrona.collections.LongHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.hints.ThreadHints;
+import org.caffinitas.ohc.OHCache;
+import org.caffinitas.ohc.OHCacheBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays an {@link AccessTrace} against each store. When the trace file is {@value Replay#SYNTHETIC_TRACE},
+ * a synthetic bursty trace is generated.
+ *
+ * Unpaced replay measures throughput with operations issued back-to-back. Paced replay issues operations
+ * at the recorded pace divided by a speedup and samples the latency of each, excluding the wait.
+ */
+public class TraceReplayBenchmark
+{
+    private static final int TEST_DATA_LENGTH = 128;
+    private static final int TEST_DATA_MASK = TEST_DATA_LENGTH - 1;
+    private static final int MAX_RECORD_LENGTH = 64;
+    private static final int MIN_ENTRIES = 20_000;
+    private static final int SYNTHETIC_RECORD_COUNT = 1 << 20;
+    private static final int SYNTHETIC_ID_COUNT = 16384;
+    private static final int SYNTHETIC_BURST_LENGTH = 64;
+    private static final long SYNTHETIC_BURST_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long SYNTHETIC_IDLE_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final int NO_AMENDMENT = -1;
+
+    @State(Scope.Benchmark)
+    public static class Replay
+    {
+        static final String SYNTHETIC_TRACE = "synthetic";
+
+        private final OrderUnsafeBufferTranscoder unsafeBufferTranscoder = new OrderUnsafeBufferTranscoder();
+        private final Order[] testData = new Order[TEST_DATA_LENGTH];
+        private final Random random = new Random(12983719837394L);
+        private final BinaryLongReference longRef = new BinaryLongReference();
+        private final Order container = new Order();
+        private Store<UnsafeBuffer> unsafeBufferStore;
+        private ChronicleMap<LongValue, Order> chronicleMap;
+        private OHCache<LongValue, Order> ohCache;
+        private AccessTraceReader trace;
+        private File syntheticTraceFile;
+
+        @Param({SYNTHETIC_TRACE})
+        private String traceFile;
+        private int position;
+        private long counter;
+
+        @Setup
+        public void setup()
+        {
+            for (int i = 0; i < TEST_DATA_LENGTH; i++)
+            {
+                final Order order = new Order();
+                testData[i] = order;
+                order.set(0, random.nextDouble(), random.nextDouble(), random.nextLong(),
+                    random.nextInt(), random.nextLong(), "SYM_" + ((char) ('A' + random.nextInt(20))));
+            }
+            if (SYNTHETIC_TRACE.equals(traceFile))
+            {
+                syntheticTraceFile = new File(IoUtil.tmpDirName(), "access-trace-" + System.nanoTime() + ".dat");
+                writeSyntheticTrace(syntheticTraceFile);
+                trace = new AccessTraceReader(syntheticTraceFile);
+            }
+            else
+            {
+                trace = new AccessTraceReader(new File(traceFile));
+            }
+            if (trace.droppedRecords() != 0)
+            {
+                System.out.printf("%nWARNING: access trace %s is truncated, %d records were dropped%n",
+                    traceFile, trace.droppedRecords());
+            }
+
+            final LongHashSet distinctIds = new LongHashSet();
+            for (int i = 0; i < trace.recordCount(); i++)
+            {
+                distinctIds.add(trace.id(i));
+            }
+            final int entries = Math.max(MIN_ENTRIES, (distinctIds.size() * 5) / 4);
+
+            unsafeBufferStore = new BufferStore<>(MAX_RECORD_LENGTH, entries,
+                len -> new UnsafeBuffer(ByteBuffer.allocateDirect(len)), new UnsafeBufferOps());
+            chronicleMap = ChronicleMap.of(LongValue.class, Order.class)
+                .entries(entries).averageValue(testData[0])
+                .putReturnsNull(true)
+                .create();
+            longRef.bytesStore(Bytes.allocateDirect(8), 0, 8);
+            ohCache = OHCacheBuilder.<LongValue, Order>newBuilder()
+                .keySerializer(new LongValueCacheSerializer())
+                .valueSerializer(new OrderCacheSerialiser(MAX_RECORD_LENGTH))
+                .fixedEntrySize(Long.BYTES, MAX_RECORD_LENGTH)
+                .capacity(2L * entries * (Long.BYTES + MAX_RECORD_LENGTH))
+                .chunkSize(128)
+                .unlocked(true)
+                .build();
+        }
+
+        @TearDown
+        public void tearDown()
+        {
+            trace.close();
+            if (syntheticTraceFile != null)
+            {
+                syntheticTraceFile.delete();
+            }
+        }
+
+        void replayUnsafeBuffer(final Blackhole bh)
+        {
+            final int index = nextRecord();
+            if (trace.op(index) == AccessTrace.OP_LOAD)
+            {
+                bh.consume(unsafeBufferStore.load(trace.id(index), unsafeBufferTranscoder, container));
+            }
+            else
+            {
+                final Order testDatum = testData[dataIndex(counter++)];
+                testDatum.setId(trace.id(index));
+                unsafeBufferStore.store(unsafeBufferTranscoder, testDatum, unsafeBufferTranscoder);
+            }
+        }
+
+        void replayChronicleMap(final Blackhole bh)
+        {
+            final int index = nextRecord();
+            longRef.setValue(trace.id(index));
+            if (trace.op(index) == AccessTrace.OP_LOAD)
+            {
+                bh.consume(chronicleMap.getUsing(longRef, container));
+            }
+            else
+            {
+                final Order testDatum = testData[dataIndex(counter++)];
+                testDatum.setId(trace.id(index));
+                chronicleMap.put(longRef, testDatum);
+            }
+        }
+
+        void replayOHCMap(final Blackhole bh)
+        {
+            final int index = nextRecord();
+            longRef.setValue(trace.id(index));
+            if (trace.op(index) == AccessTrace.OP_LOAD)
+            {
+                bh.consume(ohCache.get(longRef));
+            }
+            else
+            {
+                final Order testDatum = testData[dataIndex(counter++)];
+                testDatum.setId(trace.id(index));
+                ohCache.put(longRef, testDatum);
+            }
+        }
+
+        int nextTimestampDeltaNanos()
+        {
+            return trace.timestampDeltaNanos(position);
+        }
+
+        private int nextRecord()
+        {
+            final int index = position;
+            position = index + 1 == trace.recordCount() ? 0 : index + 1;
+            return index;
+        }
+
+        private void writeSyntheticTrace(final File file)
+        {
+            final long[] ids = new long[SYNTHETIC_ID_COUNT];
+            for (int i = 0; i < SYNTHETIC_ID_COUNT; i++)
+            {
+                ids[i] = random.nextLong();
+            }
+            try (AccessTraceRecorder recorder = new AccessTraceRecorder(file, SYNTHETIC_RECORD_COUNT))
+            {
+                long timestampNanos = 0;
+                int newestId = 0;
+                int amendedId = NO_AMENDMENT;
+                for (int i = 0; i < SYNTHETIC_RECORD_COUNT; i++)
+                {
+                    timestampNanos += i % SYNTHETIC_BURST_LENGTH == 0 ?
+                        SYNTHETIC_IDLE_INTERVAL_NANOS : SYNTHETIC_BURST_INTERVAL_NANOS;
+                    // new orders are stored, recently stored orders are read back and some of those are amended
+                    if (amendedId != NO_AMENDMENT)
+                    {
+                        recorder.record(AccessTrace.OP_STORE, ids[amendedId], timestampNanos);
+                        amendedId = NO_AMENDMENT;
+                    }
+                    else if (random.nextInt(10) < 3)
+                    {
+                        newestId = (newestId + 1) % SYNTHETIC_ID_COUNT;
+                        recorder.record(AccessTrace.OP_STORE, ids[newestId], timestampNanos);
+                    }
+                    else
+                    {
+                        final int recentId = Math.floorMod(newestId - random.nextInt(256), SYNTHETIC_ID_COUNT);
+                        recorder.record(AccessTrace.OP_LOAD, ids[recentId], timestampNanos);
+                        if (random.nextInt(4) == 0)
+                        {
+                            amendedId = recentId;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pacer
+    {
+        @Param({"1", "10"})
+        private int speedup;
+        private long scheduledNanos;
+
+        @Setup(Level.Iteration)
+        public void resetPace()
+        {
+            scheduledNanos = System.nanoTime();
+        }
+
+        @Setup(Level.Invocation)
+        public void awaitNextOperation(final Replay replay)
+        {
+            scheduledNanos += replay.nextTimestampDeltaNanos() / speedup;
+            while (System.nanoTime() < scheduledNanos)
+            {
+                ThreadHints.onSpinWait();
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void replayUnsafeBuffer(final Replay replay, final Blackhole bh)
+    {
+        replay.replayUnsafeBuffer(bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void replayChronicleMap(final Replay replay, final Blackhole bh)
+    {
+        replay.replayChronicleMap(bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void replayOHCMap(final Replay replay, final Blackhole bh)
+    {
+        replay.replayOHCMap(bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void pacedReplayUnsafeBuffer(final Replay replay, final Pacer pacer, final Blackhole bh)
+    {
+        replay.replayUnsafeBuffer(bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void pacedReplayChronicleMap(final Replay replay, final Pacer pacer, final Blackhole bh)
+    {
+        replay.replayChronicleMap(bh);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void pacedReplayOHCMap(final Replay replay, final Pacer pacer, final Blackhole bh)
+    {
+        replay.replayOHCMap(bh);
+    }
+
+    private static int dataIndex(final long counter)
+    {
+        return (int) (counter & TEST_DATA_MASK);
+    }
+}
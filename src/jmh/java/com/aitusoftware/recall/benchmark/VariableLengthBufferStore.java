@@ -0,0 +1,228 @@
+package com.aitusoftware.recall.benchmark;
+
+import com.aitusoftware.recall.persistence.Decoder;
+import com.aitusoftware.recall.persistence.Encoder;
+import com.aitusoftware.recall.persistence.IdAccessor;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Store for records of varying length. Records are placed in size-class slabs, each class around 25% larger
+ * than the previous and the largest exactly the maximum record length, so that long records do not force
+ * every slot to be sized for the longest record.
+ *
+ * Not thread-safe; a store is expected to be owned by a single thread.
+ */
+public final class VariableLengthBufferStore
+{
+    private static final long MISSING_VALUE = -1L;
+    private static final int INITIAL_SLOTS_PER_CLASS = 64;
+    private static final int SLOT_ALIGNMENT_SHIFT = 3;
+    private static final int SLOT_ALIGNMENT = 1 << SLOT_ALIGNMENT_SHIFT;
+
+    private final Long2LongHashMap index = new Long2LongHashMap(MISSING_VALUE);
+    private final Slab[] slabs;
+    private final int[] sizeClassByAlignedLength;
+    private final int maxRecordLength;
+
+    public VariableLengthBufferStore(final int minRecordLength, final int maxRecordLength)
+    {
+        if (minRecordLength <= 0 || maxRecordLength < minRecordLength)
+        {
+            throw new IllegalArgumentException(
+                "Invalid record length range: " + minRecordLength + " - " + maxRecordLength);
+        }
+        this.maxRecordLength = maxRecordLength;
+        final IntArrayList slotLengths = new IntArrayList();
+        int slotLength = Math.min(align(minRecordLength), maxRecordLength);
+        while (slotLength < maxRecordLength)
+        {
+            slotLengths.addInt(slotLength);
+            slotLength = Math.min(Math.max(slotLength + SLOT_ALIGNMENT, align(slotLength + (slotLength >> 2))),
+                maxRecordLength);
+        }
+        slotLengths.addInt(maxRecordLength);
+
+        slabs = new Slab[slotLengths.size()];
+        for (int i = 0; i < slabs.length; i++)
+        {
+            slabs[i] = new Slab(slotLengths.getInt(i));
+        }
+        sizeClassByAlignedLength = new int[(align(maxRecordLength) >> SLOT_ALIGNMENT_SHIFT) + 1];
+        int sizeClass = 0;
+        for (int i = 0; i < sizeClassByAlignedLength.length; i++)
+        {
+            final int length = Math.min(i << SLOT_ALIGNMENT_SHIFT, maxRecordLength);
+            while (slabs[sizeClass].slotLength < length)
+            {
+                sizeClass++;
+            }
+            sizeClassByAlignedLength[i] = sizeClass;
+        }
+    }
+
+    public <T> void store(
+        final Encoder<UnsafeBuffer, T> encoder, final T value,
+        final IdAccessor<T> idAccessor, final LengthAccessor<T> lengthAccessor)
+    {
+        final long id = idAccessor.getId(value);
+        final int sizeClass = sizeClass(lengthAccessor.getLength(value));
+        final long existing = index.get(id);
+        final int slot;
+        if (existing == MISSING_VALUE)
+        {
+            slot = slabs[sizeClass].allocate();
+            index.put(id, location(sizeClass, slot));
+        }
+        else if (sizeClass(existing) != sizeClass)
+        {
+            slabs[sizeClass(existing)].release(slot(existing));
+            slot = slabs[sizeClass].allocate();
+            index.put(id, location(sizeClass, slot));
+        }
+        else
+        {
+            slot = slot(existing);
+        }
+
+        final Slab slab = slabs[sizeClass];
+        encoder.store(slab.buffer, slab.offset(slot), value);
+    }
+
+    public <T> boolean load(final long id, final Decoder<UnsafeBuffer, T> decoder, final T container)
+    {
+        final long location = index.get(id);
+        if (location == MISSING_VALUE)
+        {
+            return false;
+        }
+        final Slab slab = slabs[sizeClass(location)];
+        decoder.load(slab.buffer, slab.offset(slot(location)), container);
+        return true;
+    }
+
+    public boolean remove(final long id)
+    {
+        final long location = index.remove(id);
+        if (location == MISSING_VALUE)
+        {
+            return false;
+        }
+        slabs[sizeClass(location)].release(slot(location));
+        return true;
+    }
+
+    public int size()
+    {
+        return index.size();
+    }
+
+    public void clear()
+    {
+        index.clear();
+        for (final Slab slab : slabs)
+        {
+            slab.clear();
+        }
+    }
+
+    /**
+     * @return the number of bytes allocated for record storage and slot free-lists, excluding the id index
+     */
+    public long recordBytes()
+    {
+        long allocated = 0;
+        for (final Slab slab : slabs)
+        {
+            allocated += slab.buffer.capacity() + ((long) slab.freeSlots.length * Integer.BYTES);
+        }
+        return allocated;
+    }
+
+    private int sizeClass(final int length)
+    {
+        if (length > maxRecordLength)
+        {
+            throw new IllegalArgumentException("Record length " + length + " exceeds maximum " + maxRecordLength);
+        }
+        return sizeClassByAlignedLength[(length + SLOT_ALIGNMENT - 1) >> SLOT_ALIGNMENT_SHIFT];
+    }
+
+    private static int align(final int length)
+    {
+        return (length + SLOT_ALIGNMENT - 1) & -SLOT_ALIGNMENT;
+    }
+
+    private static long location(final int sizeClass, final int slot)
+    {
+        return ((long) sizeClass << 32) | slot;
+    }
+
+    private static int sizeClass(final long location)
+    {
+        return (int) (location >>> 32);
+    }
+
+    private static int slot(final long location)
+    {
+        return (int) location;
+    }
+
+    private static final class Slab
+    {
+        private final int slotLength;
+        private UnsafeBuffer buffer;
+        private int[] freeSlots;
+        private int freeSlotCount;
+        private int nextUnusedSlot;
+
+        Slab(final int slotLength)
+        {
+            this.slotLength = slotLength;
+            buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(INITIAL_SLOTS_PER_CLASS * slotLength));
+            freeSlots = new int[INITIAL_SLOTS_PER_CLASS];
+        }
+
+        int allocate()
+        {
+            if (freeSlotCount != 0)
+            {
+                return freeSlots[--freeSlotCount];
+            }
+            if (nextUnusedSlot == freeSlots.length)
+            {
+                grow();
+            }
+            return nextUnusedSlot++;
+        }
+
+        void release(final int slot)
+        {
+            freeSlots[freeSlotCount++] = slot;
+        }
+
+        int offset(final int slot)
+        {
+            return slot * slotLength;
+        }
+
+        void clear()
+        {
+            freeSlotCount = 0;
+            nextUnusedSlot = 0;
+        }
+
+        private void grow()
+        {
+            final int slotCount = freeSlots.length << 1;
+            final UnsafeBuffer grown = new UnsafeBuffer(ByteBuffer.allocateDirect(slotCount * slotLength));
+            grown.putBytes(0, buffer, 0, buffer.capacity());
+            buffer = grown;
+            freeSlots = Arrays.copyOf(freeSlots, slotCount);
+        }
+    }
+}